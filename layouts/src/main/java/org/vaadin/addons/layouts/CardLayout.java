@@ -35,6 +35,11 @@ public class CardLayout extends CssLayout {
      */
     private int currentCard;
 
+    /**
+     * Pool receiving removed {@link RecyclableCard}s, if any
+     */
+    private CardPool cardPool;
+
     /**
      * {@inheritDoc}
      *
@@ -73,7 +78,7 @@ public class CardLayout extends CssLayout {
     @Override
     public void addComponent(Component c, int index) {
         boolean visible = this.currentCard == index;
-        if (visible) {
+        if (visible && index < this.size()) {
             Component existing = this.getComponent(index);
             if (existing != null)
                 existing.setVisible(false);
@@ -82,6 +87,26 @@ public class CardLayout extends CssLayout {
         c.setVisible(visible);
     }
 
+    /**
+     * Sets the pool to which removed or replaced {@link RecyclableCard}s are released for reuse.  While a pool is set, removing a
+     * recyclable card hands it over to the pool: until it is attached to a parent again, any caller of
+     * {@link CardPool#acquire(Class)} may reset it and take it.  Do not hold on to a removed card in order to re-add it later;
+     * move it directly to its new parent instead.  Cards that are only removed in order to be re-added (e.g. moved to another
+     * layout or reordered within this one) are released as well; the pool discards them once they are attached again.
+     * @param cardPool pool to release removed cards to or null to disable recycling
+     */
+    public void setCardPool(CardPool cardPool) {
+        this.cardPool = cardPool;
+    }
+
+    /**
+     * Retrieves the pool to which removed or replaced {@link RecyclableCard}s are released, if any
+     * @return card pool or null if recycling is disabled
+     */
+    public CardPool getCardPool() {
+        return this.cardPool;
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -112,7 +137,10 @@ public class CardLayout extends CssLayout {
         if (newComponent != null) {
             super.replaceComponent(oldComponent, newComponent);
         } else {
+            // this is also reached when the old component is replaced with one not yet in this layout, since
+            // CssLayout.replaceComponent removes it through removeComponent; recycling here covers both cases
             super.removeComponent(oldComponent);
+            this.recycle(oldComponent);
         }
         if (this.isEmpty()) {
             this.currentCard = 0;
@@ -135,6 +163,15 @@ public class CardLayout extends CssLayout {
         this.currentCard = 0;
     }
 
+    /**
+     * Releases the specified component to the card pool if one is set and the component is recyclable
+     * @param c component removed from this layout
+     */
+    private void recycle(Component c) {
+        if (this.cardPool != null && c instanceof RecyclableCard)
+            this.cardPool.release((RecyclableCard)c);
+    }
+
     /**
      * Alias for {#link getComponentCount}
      * @return number of components in layout
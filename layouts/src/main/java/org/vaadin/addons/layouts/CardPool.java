@@ -0,0 +1,176 @@
+
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.vaadin.addons.layouts;
+
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * A bounded pool of {@link RecyclableCard}s keyed by card type.  Cards removed from a {@link CardLayout} using this pool are
+ * retained so that a later card of the same type can be reset and rebound to new data instead of constructing a new component
+ * tree.
+ *
+ * A pool holds components and must therefore be used by a single UI only; it must not be shared between UIs or sessions (e.g.
+ * as a static field or singleton bean).  This class is not thread-safe.
+ */
+public class CardPool implements Serializable {
+
+    private static final long serialVersionUID = -3570289546286342807L;
+
+    /**
+     * Default maximum number of idle cards retained per card type
+     */
+    public static final int DEFAULT_MAX_PER_TYPE = 8;
+
+    private final Map<Class<?>, Deque<RecyclableCard>> idle = new HashMap<>();
+    private final int maxPerType;
+
+    private long hits;
+    private long misses;
+
+    /**
+     * Creates a pool retaining up to {@link #DEFAULT_MAX_PER_TYPE} idle cards per card type
+     */
+    public CardPool() {
+        this(DEFAULT_MAX_PER_TYPE);
+    }
+
+    /**
+     * Creates a pool retaining up to the specified number of idle cards per card type
+     * @param maxPerType maximum number of idle cards retained per card type
+     * @throws IllegalArgumentException if maxPerType is negative
+     */
+    public CardPool(int maxPerType) {
+        if (maxPerType < 0)
+            throw new IllegalArgumentException("Maximum cards per type must not be negative: " + maxPerType);
+        this.maxPerType = maxPerType;
+    }
+
+    /**
+     * Retrieves and resets an idle card of the specified type, if any.  Released cards that have since been attached to a parent
+     * again (e.g. a card removed from one layout in order to be added to another) are discarded rather than returned.  The
+     * returned card should be rebound to new data by the caller before it is added to a layout.
+     * @param type card type
+     * @param <T> card type
+     * @return idle card of the specified type or null if none is available, in which case the caller should create a new one
+     */
+    public <T extends RecyclableCard> T acquire(Class<T> type) {
+        Deque<RecyclableCard> cards = this.prune(type);
+        RecyclableCard card = cards != null ? cards.pollFirst() : null;
+        if (card == null) {
+            this.misses++;
+            return null;
+        }
+        this.hits++;
+        card.reset();
+        return type.cast(card);
+    }
+
+    /**
+     * Retains the specified card for reuse.  Cards that are still attached to a parent are ignored, as are cards released once
+     * the pool already holds the maximum number of idle cards of that type.  Previously released cards that have since been
+     * attached to a parent again are discarded first so that they do not count towards that maximum.
+     * @param card card to release
+     * @return true if the card was retained, false otherwise
+     */
+    public boolean release(RecyclableCard card) {
+        if (card == null || card.getParent() != null)
+            return false;
+        Deque<RecyclableCard> cards = this.prune(card.getClass());
+        if (cards != null && cards.contains(card))
+            return false;
+        int size = cards != null ? cards.size() : 0;
+        if (size >= this.maxPerType)
+            return false;
+        if (cards == null) {
+            cards = new ArrayDeque<>();
+            this.idle.put(card.getClass(), cards);
+        }
+        cards.addFirst(card);
+        return true;
+    }
+
+    /**
+     * Number of idle cards of the specified type.  Released cards that have since been attached to a parent again are not
+     * idle and are discarded.
+     * @param type card type
+     * @return number of idle cards of the specified type
+     */
+    public int size(Class<? extends RecyclableCard> type) {
+        Deque<RecyclableCard> cards = this.prune(type);
+        return cards != null ? cards.size() : 0;
+    }
+
+    /**
+     * Discards released cards of the specified type that have since been attached to a parent again (e.g. moved to another
+     * layout or reordered within one)
+     * @param type card type
+     * @return idle cards of the specified type or null if there are none
+     */
+    private Deque<RecyclableCard> prune(Class<?> type) {
+        Deque<RecyclableCard> cards = this.idle.get(type);
+        if (cards == null)
+            return null;
+        for (Iterator<RecyclableCard> i = cards.iterator(); i.hasNext(); ) {
+            if (i.next().getParent() != null)
+                i.remove();
+        }
+        if (cards.isEmpty()) {
+            this.idle.remove(type);
+            return null;
+        }
+        return cards;
+    }
+
+    /**
+     * Maximum number of idle cards retained per card type
+     * @return maximum number of idle cards retained per card type
+     */
+    public int getMaxPerType() {
+        return this.maxPerType;
+    }
+
+    /**
+     * Number of calls to {@link #acquire(Class)} that returned an idle card
+     * @return number of hits
+     */
+    public long getHits() {
+        return this.hits;
+    }
+
+    /**
+     * Number of calls to {@link #acquire(Class)} that found no idle card
+     * @return number of misses
+     */
+    public long getMisses() {
+        return this.misses;
+    }
+
+    /**
+     * Discards all idle cards.  Hit and miss counts are left untouched.
+     */
+    public void clear() {
+        this.idle.clear();
+    }
+}
@@ -0,0 +1,35 @@
+
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.vaadin.addons.layouts;
+
+import com.vaadin.ui.Component;
+
+/**
+ * A card that can be reset and reused by a {@link CardPool} instead of being discarded when it is removed from a
+ * {@link CardLayout}
+ */
+public interface RecyclableCard extends Component {
+
+    /**
+     * Clears any state bound to this card (e.g. field values, data sources, listeners added for the previous data) so that it
+     * may be rebound to new data.  Invoked by the pool when the card is acquired for reuse.
+     */
+    void reset();
+}
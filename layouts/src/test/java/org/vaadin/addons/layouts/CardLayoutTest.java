@@ -279,6 +279,21 @@ public class CardLayoutTest {
         Assert.assertEquals("goo", ((Label)layout.getVisibleComponent()).getValue());
     }
 
+    @Test
+    public void testReplaceOnlyComponent() {
+        CardLayout layout = new CardLayout();
+
+        Label label = new Label("foo");
+        layout.addComponent(label);
+
+        Assert.assertEquals(1, layout.size());
+        layout.replaceComponent(label, new Label("bar"));
+        Assert.assertEquals(1, layout.size());
+        Assert.assertEquals(0, layout.getVisibleComponentIndex());
+        Assert.assertEquals("bar", ((Label)layout.getVisibleComponent()).getValue());
+        Assert.assertTrue(layout.getVisibleComponent().isVisible());
+    }
+
     @Test
     public void testRemoveAll() {
         CardLayout layout = new CardLayout();
@@ -0,0 +1,288 @@
+
+/*
+ *
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.vaadin.addons.layouts;
+
+import com.vaadin.ui.CssLayout;
+import com.vaadin.ui.Label;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+
+public class CardPoolTest {
+
+    @SuppressWarnings("serial")
+    public static class RecordCard extends Label implements RecyclableCard {
+
+        private int resets;
+
+        public RecordCard(String value) {
+            super(value);
+        }
+
+        @Override
+        public void reset() {
+            this.resets++;
+            this.setValue(null);
+        }
+
+        public int getResets() {
+            return this.resets;
+        }
+    }
+
+    @Test
+    public void testAcquireMiss() {
+        CardPool pool = new CardPool();
+        Assert.assertNull(pool.acquire(RecordCard.class));
+        Assert.assertEquals(0, pool.getHits());
+        Assert.assertEquals(1, pool.getMisses());
+    }
+
+    @Test
+    public void testReleaseAndAcquire() {
+        CardPool pool = new CardPool();
+        RecordCard card = new RecordCard("foo");
+
+        Assert.assertTrue(pool.release(card));
+        Assert.assertEquals(0, card.getResets());
+        Assert.assertEquals("foo", card.getValue());
+        Assert.assertEquals(1, pool.size(RecordCard.class));
+
+        Assert.assertSame(card, pool.acquire(RecordCard.class));
+        Assert.assertEquals(1, card.getResets());
+        Assert.assertNull(card.getValue());
+        Assert.assertEquals(0, pool.size(RecordCard.class));
+        Assert.assertEquals(1, pool.getHits());
+        Assert.assertEquals(0, pool.getMisses());
+    }
+
+    @Test
+    public void testBounded() {
+        CardPool pool = new CardPool(1);
+        Assert.assertTrue(pool.release(new RecordCard("foo")));
+        Assert.assertFalse(pool.release(new RecordCard("bar")));
+        Assert.assertEquals(1, pool.size(RecordCard.class));
+
+        CardPool empty = new CardPool(0);
+        Assert.assertFalse(empty.release(new RecordCard("foo")));
+        Assert.assertEquals(0, empty.size(RecordCard.class));
+    }
+
+    @Test
+    public void testAttachedCardIsNotReleased() {
+        CardPool pool = new CardPool();
+        CardLayout layout = new CardLayout();
+        RecordCard card = new RecordCard("foo");
+        layout.addComponent(card);
+
+        Assert.assertFalse(pool.release(card));
+        Assert.assertEquals(0, pool.size(RecordCard.class));
+    }
+
+    @Test
+    public void testRemovedCardIsRecycled() {
+        CardPool pool = new CardPool();
+        CardLayout layout = new CardLayout();
+        layout.setCardPool(pool);
+
+        RecordCard card = new RecordCard("foo");
+        layout.addComponent(card);
+        layout.addComponent(new Label("bar"));
+        layout.removeComponent(card);
+
+        Assert.assertEquals(1, pool.size(RecordCard.class));
+
+        RecordCard recycled = pool.acquire(RecordCard.class);
+        Assert.assertSame(card, recycled);
+        Assert.assertEquals(1, recycled.getResets());
+        recycled.setValue("baz");
+        layout.addComponent(recycled);
+        Assert.assertEquals(2, layout.size());
+        Assert.assertFalse(recycled.isVisible());
+    }
+
+    @Test
+    public void testReplacedCardIsRecycledOnce() {
+        CardPool pool = new CardPool();
+        CardLayout layout = new CardLayout();
+        layout.setCardPool(pool);
+
+        RecordCard card = new RecordCard("foo");
+        RecordCard card2 = new RecordCard("bar");
+        layout.addComponent(card);
+        layout.replaceComponent(card, card2);
+
+        Assert.assertEquals(1, layout.size());
+        Assert.assertSame(card2, layout.getVisibleComponent());
+        Assert.assertEquals(1, pool.size(RecordCard.class));
+        Assert.assertSame(card, pool.acquire(RecordCard.class));
+        Assert.assertEquals(1, card.getResets());
+        Assert.assertNull(pool.acquire(RecordCard.class));
+    }
+
+    @Test
+    public void testRemoveAllRecyclesEachCardOnce() {
+        CardPool pool = new CardPool();
+        CardLayout layout = new CardLayout();
+        layout.setCardPool(pool);
+
+        RecordCard[] cards = { new RecordCard("foo"), new RecordCard("bar"), new RecordCard("baz") };
+        for (RecordCard card : cards)
+            layout.addComponent(card);
+        layout.removeAllComponents();
+
+        Assert.assertEquals(0, layout.size());
+        Assert.assertEquals(3, pool.size(RecordCard.class));
+        for (int i = 0; i < cards.length; i++)
+            Assert.assertNotNull(pool.acquire(RecordCard.class));
+        Assert.assertNull(pool.acquire(RecordCard.class));
+        for (RecordCard card : cards)
+            Assert.assertEquals(1, card.getResets());
+    }
+
+    @Test
+    public void testSwappedCardIsNotRecycled() {
+        CardPool pool = new CardPool();
+        CardLayout layout = new CardLayout();
+        layout.setCardPool(pool);
+
+        RecordCard card = new RecordCard("foo");
+        RecordCard card2 = new RecordCard("bar");
+        layout.addComponent(card);
+        layout.addComponent(card2);
+        layout.replaceComponent(card, card2);
+
+        Assert.assertEquals(2, layout.size());
+        Assert.assertEquals(0, pool.size(RecordCard.class));
+    }
+
+    @Test
+    public void testMovedCardIsNotAcquired() {
+        CardPool pool = new CardPool();
+        CardLayout layout = new CardLayout();
+        layout.setCardPool(pool);
+
+        RecordCard card = new RecordCard("foo");
+        layout.addComponent(card);
+        layout.addComponent(new Label("bar"));
+
+        CssLayout other = new CssLayout();
+        other.addComponent(card);
+
+        Assert.assertEquals(1, layout.size());
+        Assert.assertSame(other, card.getParent());
+        Assert.assertEquals(0, pool.size(RecordCard.class));
+        Assert.assertNull(pool.acquire(RecordCard.class));
+        Assert.assertEquals(0, pool.size(RecordCard.class));
+        Assert.assertEquals(0, card.getResets());
+        Assert.assertEquals("foo", card.getValue());
+        Assert.assertSame(other, card.getParent());
+    }
+
+    @Test
+    public void testReorderedCardIsNotAcquired() {
+        CardPool pool = new CardPool();
+        CardLayout layout = new CardLayout();
+        layout.setCardPool(pool);
+
+        RecordCard card = new RecordCard("foo");
+        RecordCard card2 = new RecordCard("bar");
+        layout.addComponent(new Label("baz"));
+        layout.addComponent(card);
+        layout.addComponent(card2);
+
+        layout.addComponent(card2, 1);
+        Assert.assertEquals(1, layout.getComponentIndex(card2));
+        layout.addComponentAsFirst(card);
+        Assert.assertEquals(0, layout.getComponentIndex(card));
+
+        Assert.assertEquals(3, layout.size());
+        Assert.assertEquals(0, pool.size(RecordCard.class));
+        Assert.assertNull(pool.acquire(RecordCard.class));
+        Assert.assertEquals(0, card.getResets());
+        Assert.assertEquals(0, card2.getResets());
+        Assert.assertEquals("foo", card.getValue());
+        Assert.assertEquals("bar", card2.getValue());
+        Assert.assertSame(layout, card.getParent());
+        Assert.assertSame(layout, card2.getParent());
+    }
+
+    @Test
+    public void testMovedCardDoesNotCountTowardsBound() {
+        CardPool pool = new CardPool(1);
+        CardLayout layout = new CardLayout();
+        layout.setCardPool(pool);
+
+        RecordCard card = new RecordCard("foo");
+        RecordCard card2 = new RecordCard("bar");
+        layout.addComponent(card);
+        layout.addComponent(card2);
+
+        new CssLayout().addComponent(card);
+        layout.removeComponent(card2);
+
+        Assert.assertEquals(1, pool.size(RecordCard.class));
+        Assert.assertSame(card2, pool.acquire(RecordCard.class));
+        Assert.assertEquals(1, card2.getResets());
+        Assert.assertEquals(0, card.getResets());
+        Assert.assertEquals("foo", card.getValue());
+    }
+
+    @Test
+    public void testReorderedCardDoesNotCountTowardsBound() {
+        CardPool pool = new CardPool(1);
+        CardLayout layout = new CardLayout();
+        layout.setCardPool(pool);
+
+        RecordCard card = new RecordCard("foo");
+        RecordCard card2 = new RecordCard("bar");
+        layout.addComponent(new Label("baz"));
+        layout.addComponent(card);
+        layout.addComponent(card2);
+
+        layout.addComponentAsFirst(card);
+        layout.removeComponent(card2);
+
+        Assert.assertEquals(1, pool.size(RecordCard.class));
+        Assert.assertSame(card2, pool.acquire(RecordCard.class));
+        Assert.assertEquals(1, card2.getResets());
+        Assert.assertEquals(0, card.getResets());
+        Assert.assertSame(layout, card.getParent());
+    }
+
+    @Test
+    public void testReorderedCardIsRecycledOnceWhenRemoved() {
+        CardPool pool = new CardPool();
+        CardLayout layout = new CardLayout();
+        layout.setCardPool(pool);
+
+        RecordCard card = new RecordCard("foo");
+        layout.addComponent(new Label("bar"));
+        layout.addComponent(card);
+        layout.addComponentAsFirst(card);
+        layout.removeComponent(card);
+
+        Assert.assertEquals(1, pool.size(RecordCard.class));
+        Assert.assertSame(card, pool.acquire(RecordCard.class));
+        Assert.assertEquals(1, card.getResets());
+        Assert.assertNull(pool.acquire(RecordCard.class));
+    }
+}